@@ -1,9 +1,7 @@
-import java.util.ArrayList;
-import java.util.List;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.slf4j.MDC;
 import model.*;
+import simulation.*;
 import syncControl.*;
 
 public class Main
@@ -19,96 +17,27 @@ public class Main
         int numberOfCustomers = Integer.parseInt(args[0]);
         long globalSeed = Math.abs(Long.parseLong(args[1]));
         SyncControl sync = new SyncControl(globalSeed);
+        ResourceController controller = new ResourceController(sync);
+        controller.start();
 
         // How many seats exist
         logger.info("Cinema's total seats: {}", sync.getCinemaSeats().length);
 
-        // Customers
-        int[] customerIds = new int[numberOfCustomers];
-
-        // Set all ids starting from id = 1
-        for(int i = 0; i < numberOfCustomers; i++) { customerIds[i] = i + 1; }
-
-        // Customer Threads
-        List<Thread> customerThreads = new ArrayList<>();
-
-        for(int customer = 0; customer < numberOfCustomers; customer++)
-        {
-            int customerId = customerIds[customer]; // Get customer
-
-            Runnable r = () ->
-            {
-                MDC.put("customerId", String.valueOf(customerId));
-                long timeStart = System.currentTimeMillis();
-
-                try
-                {
-                    CustomerRequest request = new CustomerRequest();
-                    request.setId(customerId);
-                    MDC.put("customerId", String.valueOf(customerId));
-                    logger.info("Customer <{}> is calling", customerId);
-                    sync.acquireOperator(request);
-
-                    if(sync.getAvailableSeats() == 0)
-                    {
-                        logger.info("Customer <{}> No seats available for booking", customerId);
-                        request.setState(Cinema.State.FAIL);
-                    }
-                    else
-                    {
-                        Cinema.State found = sync.findSeats(request);
-                        sync.releaseOperator();
-
-                        if(found == Cinema.State.SUCCESS)
-                        {
-                            sync.acquireCashier();
-                            sync.processPayment(request);
-                            sync.releaseCashier();
-                        }
-                    }
-                }
-                catch(InterruptedException e)
-                {
-                    Thread.currentThread().interrupt();
-                    logger.error("Customer <{}> thread interrupted: {}", customerId, e.getMessage());
-                }
-
-                long timeEnd = System.currentTimeMillis();
-                long duration = timeEnd - timeStart;
-                sync.getSumOfTransactionsTime().addAndGet(duration);
-                MDC.clear();
-            };
-
-            if(customer == 0)
-            {
-                Thread t = new Thread(r);
-                customerThreads.add(t);
-                t.start();
-            }
-            else
-            {
-                int range = (int)(Cinema.MAX_CREATION_TIME - Cinema.MIN_CREATION_TIME + 1);
-                int delay = sync.nextIntValue(range) + (int)Cinema.MIN_CREATION_TIME;
-
-                Thread.sleep(delay * 1000L);
-
-                Thread t = new Thread(r);
-                customerThreads.add(t);
-                t.start();
-            }
-        }
-
-        for (Thread t : customerThreads) { t.join(); }
+        // Run all customers
+        Simulation simulation = new Simulation(sync, numberOfCustomers);
+        simulation.run();
+        controller.stop();
         logger.info("Plan of seats:");
 
-        int totalSeats = Cinema.NUMBER_OF_ROW_SEATS * (Cinema.ROWS_OF_ZONE_A + Cinema.ROWS_OF_ZONE_B);
+        CinemaConfig config = sync.getConfig();
+        int totalSeats = config.getTotalSeats();
         int[] seats = sync.getCinemaSeats();
 
         for (int j = 0; j < totalSeats; j++)
         {
-            String zone = (j < Cinema.NUMBER_OF_ROW_SEATS * Cinema.ROWS_OF_ZONE_A) ? "Zone A" : "Zone B";
-            int row = (j / Cinema.NUMBER_OF_ROW_SEATS) + 1;
-            if (zone.equals("Zone B")) row -= Cinema.ROWS_OF_ZONE_A;
+            String zone = (j < config.getZoneEnd(Cinema.Zone.A)) ? "Zone A" : "Zone B";
+            int row = (j / config.getNumberOfRowSeats()) + 1;
+            if (zone.equals("Zone B")) row -= config.getRowsOfZoneA();
             String seatStatus = (seats[j] != 0) ? "Customer " + seats[j] : "Empty";
             logger.info("{} / Row {} / Seat {} / {}", zone, row, j + 1, seatStatus);
         }
@@ -116,13 +45,15 @@ public class Main
         long successful = sync.getSuccessfulTransactions().get();
         long failedSeats = sync.getFailedDueToUnavailableSeats().get();
         long failedPayment = sync.getFailedDueToPayment().get();
-        long totalTx = successful + failedSeats + failedPayment;
+        long rejected = sync.getRejectedDueToOverload().get();
+        long totalTx = successful + failedSeats + failedPayment + rejected;
 
         logger.info("Total revenue: {}$", sync.getTotalRevenue().get());
         logger.info("Total transactions: {}", sync.getTransactionNumber().get());
         logger.info("Total successful transactions: {}", successful);
         logger.info("Total failed transactions due to unavailable seats: {}", failedSeats);
         logger.info("Total failed transactions due to failed payment: {}", failedPayment);
+        logger.info("Total rejected transactions due to overload: {}", rejected);
 
         double avgWaiting = sync.getSumOfWaitingTime().get() / 1000.0 / totalTx;
         double avgTransaction = sync.getSumOfTransactionsTime().get() / 1000.0 / totalTx;
@@ -133,10 +64,14 @@ public class Main
         double p1 = (successful * 100.0) / totalTx;
         double p2 = (failedSeats * 100.0) / totalTx;
         double p3 = (failedPayment * 100.0) / totalTx;
+        double p4 = (rejected * 100.0) / totalTx;
 
         logger.info("Percentage of successful transactions: {}%", (int) p1);
         logger.info("Percentage of failed transactions due to unavailable seats: {}%", (int) p2);
         logger.info("Percentage of failed transactions due to unsuccessful payment: {}%", (int) p3);
+        logger.info("Percentage of rejected transactions due to overload: {}%", (int) p4);
+
+        controller.logReport(sync.getTotalRevenue().get());
     }
 
     private static void checkArguments(String[] args)
@@ -18,6 +18,20 @@ public final class Cinema
     public static final int NUMBER_OF_OPERATORS = 3;                 // Number of operators
     public static final int NUMBER_OF_CASHIERS = 2;                  // Number of cashiers
 
+    public static final int MIN_OPERATORS = 1;                       // Minimum operators on duty (autoscaling)
+    public static final int MAX_OPERATORS = 6;                       // Maximum operators on duty (autoscaling)
+    public static final int MIN_CASHIERS = 1;                        // Minimum cashiers on duty (autoscaling)
+    public static final int MAX_CASHIERS = 4;                        // Maximum cashiers on duty (autoscaling)
+
+    public static final float SCALING_INTERVAL = 2;                  // Time between staffing decisions (seconds)
+    public static final float TARGET_WAIT_TIME = 3;                  // Wait time (p90) the controller aims for (seconds)
+    public static final double WAIT_PERCENTILE = 0.9;                // Percentile of wait time checked against target
+    public static final int SCALING_PATIENCE = 3;                    // Intervals with a queue or over target before growing
+    public static final int SCALING_COOLDOWN = 2;                    // Mean service times with an idle worker before shrinking
+
+    public static final double COST_OF_OPERATOR = 15;                // Staffing cost of an operator (per hour)
+    public static final double COST_OF_CASHIER = 12;                 // Staffing cost of a cashier (per hour)
+
     public static final int MIN_SEATS_CHOSEN = 1;                    // Minimum number of chosen seats
     public static final int MAX_SEATS_CHOSEN = 5;                    // Maximum number of chosen seats
 
@@ -32,9 +46,16 @@ public final class Cinema
 
     public static final float PAYMENT_SUCCESS_PROBABILITY = 0.9f;    // Successful payment percentage
 
+    public static final double PROBABILITY_OF_MEMBER = 0.2;          // Chance of a customer being a member
+    public static final int LARGE_GROUP_SEATS = 4;                   // Requested seats that make a large group
+    public static final float PRIORITY_AGING_TIME = 30;              // Waiting time worth one priority class (seconds)
+    public static final float OPERATOR_LATENCY_BUDGET = 60;          // Longest expected operator wait before rejecting (seconds)
+
     public enum Zone { A, B }                                        // Cinema Zone values
 
     public enum SeatStatus { AVAILABLE, TAKEN }                      // Availability of cinema seats
 
     public enum State { SUCCESS, FAIL }                              // Operation result
+
+    public enum Priority { MEMBER, GROUP, REGULAR }                  // Operator queue classes (highest first)
 }
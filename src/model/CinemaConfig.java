@@ -0,0 +1,81 @@
+package model;
+
+public class CinemaConfig
+{
+    private int numberOfRowSeats;      // Number of seats on each row
+    private int rowsOfZoneA;           // Number of Zone A rows
+    private int rowsOfZoneB;           // Number of Zone B rows
+    private double costOfSeatA;        // Cost of Zone A seat
+    private double costOfSeatB;        // Cost of Zone B seat
+    private int numberOfOperators;     // Operators on duty at start
+    private int numberOfCashiers;      // Cashiers on duty at start
+    private double timeSpeedup;        // Simulated seconds per real second (1 = real time)
+
+    // Default constructor (values of Cinema)
+    public CinemaConfig()
+    {
+        this.numberOfRowSeats = Cinema.NUMBER_OF_ROW_SEATS;
+        this.rowsOfZoneA = Cinema.ROWS_OF_ZONE_A;
+        this.rowsOfZoneB = Cinema.ROWS_OF_ZONE_B;
+        this.costOfSeatA = Cinema.COST_OF_SEAT_A;
+        this.costOfSeatB = Cinema.COST_OF_SEAT_B;
+        this.numberOfOperators = Cinema.NUMBER_OF_OPERATORS;
+        this.numberOfCashiers = Cinema.NUMBER_OF_CASHIERS;
+        this.timeSpeedup = 1.0;
+    }
+
+    // Custom constructor
+    public CinemaConfig(int numberOfRowSeats, int rowsOfZoneA, int rowsOfZoneB, double costOfSeatA, double costOfSeatB,
+                        int numberOfOperators, int numberOfCashiers, double timeSpeedup)
+    {
+        this.numberOfRowSeats = numberOfRowSeats;
+        this.rowsOfZoneA = rowsOfZoneA;
+        this.rowsOfZoneB = rowsOfZoneB;
+        this.costOfSeatA = costOfSeatA;
+        this.costOfSeatB = costOfSeatB;
+        this.numberOfOperators = numberOfOperators;
+        this.numberOfCashiers = numberOfCashiers;
+        this.timeSpeedup = timeSpeedup;
+    }
+
+    // Total seats of the cinema
+    public int getTotalSeats() { return numberOfRowSeats * (rowsOfZoneA + rowsOfZoneB); }
+
+    // First seat index of a zone
+    public int getZoneStart(Cinema.Zone zone) { return (zone == Cinema.Zone.A) ? 0 : rowsOfZoneA * numberOfRowSeats; }
+
+    // Seat index after the last seat of a zone
+    public int getZoneEnd(Cinema.Zone zone)
+    {
+        return (zone == Cinema.Zone.A) ? rowsOfZoneA * numberOfRowSeats : getTotalSeats();
+    }
+
+    // Price of one seat of a zone
+    public double getCostOfSeat(Cinema.Zone zone) { return (zone == Cinema.Zone.A) ? costOfSeatA : costOfSeatB; }
+
+    //-----------------------------------------SETTERS AND GETTERS------------------------------------------------------
+    public int getNumberOfRowSeats() { return numberOfRowSeats; }
+    public void setNumberOfRowSeats(int numberOfRowSeats) { this.numberOfRowSeats = numberOfRowSeats; }
+
+    public int getRowsOfZoneA() { return rowsOfZoneA; }
+    public void setRowsOfZoneA(int rowsOfZoneA) { this.rowsOfZoneA = rowsOfZoneA; }
+
+    public int getRowsOfZoneB() { return rowsOfZoneB; }
+    public void setRowsOfZoneB(int rowsOfZoneB) { this.rowsOfZoneB = rowsOfZoneB; }
+
+    public double getCostOfSeatA() { return costOfSeatA; }
+    public void setCostOfSeatA(double costOfSeatA) { this.costOfSeatA = costOfSeatA; }
+
+    public double getCostOfSeatB() { return costOfSeatB; }
+    public void setCostOfSeatB(double costOfSeatB) { this.costOfSeatB = costOfSeatB; }
+
+    public int getNumberOfOperators() { return numberOfOperators; }
+    public void setNumberOfOperators(int numberOfOperators) { this.numberOfOperators = numberOfOperators; }
+
+    public int getNumberOfCashiers() { return numberOfCashiers; }
+    public void setNumberOfCashiers(int numberOfCashiers) { this.numberOfCashiers = numberOfCashiers; }
+
+    public double getTimeSpeedup() { return timeSpeedup; }
+    public void setTimeSpeedup(double timeSpeedup) { this.timeSpeedup = timeSpeedup; }
+    //-----------------------------------------------------------------------------------------------------------------
+}
@@ -11,6 +11,7 @@ public class CustomerRequest
     private double cost;               // Total price the customer pays
     private Cinema.State state;        // State to represent the case the request is accepted or rejected
     private float waited;              // How long the customer is waiting (in seconds)
+    private Cinema.Priority priority;  // Class of the customer in the operator queue
 
     // Default constructor
     public CustomerRequest()
@@ -23,6 +24,7 @@ public class CustomerRequest
         this.cost = 0.0;
         this.state = Cinema.State.FAIL;
         this.waited = 0.0f;
+        this.priority = Cinema.Priority.REGULAR;
     }
 
     // Custom constructor
@@ -37,6 +39,7 @@ public class CustomerRequest
         this.cost = cost;
         this.state = state;
         this.waited = waited;
+        this.priority = Cinema.Priority.REGULAR;
     }
 
     //-----------------------------------------SETTERS AND GETTERS------------------------------------------------------
@@ -63,6 +66,9 @@ public class CustomerRequest
 
     public float getWaited() { return waited; }
     public void setWaited(float waited) { this.waited = waited; }
+
+    public Cinema.Priority getPriority() { return priority; }
+    public void setPriority(Cinema.Priority priority) { this.priority = priority; }
     //-----------------------------------------------------------------------------------------------------------------
 
 }
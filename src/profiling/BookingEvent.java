@@ -0,0 +1,29 @@
+package profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Label;
+import jdk.jfr.StackTrace;
+import model.CustomerRequest;
+
+// Common fields of the booking stage events
+@Category({ "JavaCinema", "Booking" })
+@StackTrace(false)
+public abstract class BookingEvent extends jdk.jfr.Event
+{
+    @Label("Customer Id")
+    long customerId;
+
+    @Label("Zone")
+    String zone;
+
+    @Label("Seats")
+    int seats;
+
+    // Copy the customer's details into the event
+    public void describe(CustomerRequest request)
+    {
+        this.customerId = request.getId();
+        this.zone = String.valueOf(request.getRequestedZone());
+        this.seats = request.getRequested_seats();
+    }
+}
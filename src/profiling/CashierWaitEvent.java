@@ -0,0 +1,16 @@
+package profiling;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name(CashierWaitEvent.NAME)
+@Label("Cashier Wait")
+@Description("Wait for a free cashier, including cashierLock")
+public class CashierWaitEvent extends BookingEvent
+{
+    public static final String NAME = "javacinema.CashierWait";
+
+    @Label("Queued")
+    public int queued;
+}
@@ -0,0 +1,22 @@
+package profiling;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name(OperatorWaitEvent.NAME)
+@Label("Operator Wait")
+@Description("Admission check and wait in the operator queue, including operatorLock")
+public class OperatorWaitEvent extends BookingEvent
+{
+    public static final String NAME = "javacinema.OperatorWait";
+
+    @Label("Priority")
+    public String priority;
+
+    @Label("Decision")
+    public String decision;
+
+    @Label("Queued")
+    public int queued;
+}
@@ -0,0 +1,19 @@
+package profiling;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name(PaymentEvent.NAME)
+@Label("Payment")
+@Description("Payment at the cashier, including the simulated payment time")
+public class PaymentEvent extends BookingEvent
+{
+    public static final String NAME = "javacinema.Payment";
+
+    @Label("Cost")
+    public double cost;
+
+    @Label("Success")
+    public boolean success;
+}
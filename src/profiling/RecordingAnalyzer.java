@@ -0,0 +1,193 @@
+package profiling;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingFile;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import syncControl.AdmissionController;
+import syncControl.SyncControl;
+import util.Statistics;
+
+// Offline summary of a Flight Recorder recording: latency of every booking stage and contention on SyncControl's locks
+public class RecordingAnalyzer
+{
+    // SLF4J Logger
+    private static final Logger logger = LoggerFactory.getLogger(RecordingAnalyzer.class);
+
+    // Booking stages in the order a customer goes through them
+    private static final String[] STAGES = { OperatorWaitEvent.NAME, SeatSearchEvent.NAME, SeatScanEvent.NAME,
+            CashierWaitEvent.NAME, PaymentEvent.NAME };
+
+    // Lock used by every SyncControl method that can block on one
+    private static final Map<String, String> LOCKS = Map.ofEntries(
+            Map.entry("acquireOperator", "operatorLock"),
+            Map.entry("releaseOperator", "operatorLock"),
+            Map.entry("resizeOperators", "operatorLock"),
+            Map.entry("getAvailableOperators", "operatorLock"),
+            Map.entry("getOperatorPoolSize", "operatorLock"),
+            Map.entry("getWaitingForOperator", "operatorLock"),
+            Map.entry("acquireCashier", "cashierLock"),
+            Map.entry("releaseCashier", "cashierLock"),
+            Map.entry("resizeCashiers", "cashierLock"),
+            Map.entry("getAvailableCashiers", "cashierLock"),
+            Map.entry("getCashierPoolSize", "cashierLock"),
+            Map.entry("getWaitingForCashier", "cashierLock"),
+            Map.entry("hasCapacity", "seatsLock"),
+            Map.entry("tryReserveAt", "seatsLock"),
+            Map.entry("changeAvailabilityStatus", "seatsLock"),
+            Map.entry("rollbackSeatReservations", "seatsLock"),
+            Map.entry("nextIntValue", "rngLock"),
+            Map.entry("nextDoubleValue", "rngLock"));
+
+    static void main(String[] args) throws IOException
+    {
+        if(args == null || args.length != 1)
+        {
+            throw new IllegalArgumentException("Error: Invalid arguments! Valid: 1) Recording file (.jfr)");
+        }
+
+        Set<String> stageEvents = Set.of(STAGES);
+        Map<String, List<Long>> stages = new LinkedHashMap<>();        // Stage -> durations (ns)
+        Map<String, List<Long>> stagesByZone = new TreeMap<>();        // Stage / zone -> durations (ns)
+        Map<String, List<Long>> contention = new TreeMap<>();          // Lock / method / kind -> blocked times (ns)
+        for (String stage : STAGES)
+        {
+            if (stage.equals(OperatorWaitEvent.NAME))
+            {
+                for (AdmissionController.Decision decision : AdmissionController.Decision.values())
+                {
+                    stages.put(label(stage) + " (" + decision + ")", new ArrayList<>());
+                }
+            }
+            else
+            {
+                stages.put(label(stage), new ArrayList<>());
+            }
+        }
+
+        for (RecordedEvent event : RecordingFile.readAllEvents(Path.of(args[0])))
+        {
+            String name = event.getEventType().getName();
+            long duration = event.getDuration().toNanos();
+
+            if (stageEvents.contains(name))
+            {
+                String stage = stage(event);
+                stages.computeIfAbsent(stage, k -> new ArrayList<>()).add(duration);
+                String zone = event.getString("zone");
+                stagesByZone.computeIfAbsent(stage + " / Zone " + zone, k -> new ArrayList<>()).add(duration);
+            }
+            else if (name.equals("jdk.JavaMonitorEnter") || name.equals("jdk.ThreadPark"))
+            {
+                String blocker = blocker(event);
+                if (blocker != null) contention.computeIfAbsent(blocker, k -> new ArrayList<>()).add(duration);
+            }
+        }
+
+        logger.info("Booking stages:");
+        for (Map.Entry<String, List<Long>> entry : stages.entrySet())
+        {
+            logStats(entry.getKey(), entry.getValue());
+        }
+
+        logger.info("Booking stages by zone:");
+        for (Map.Entry<String, List<Long>> entry : stagesByZone.entrySet())
+        {
+            logStats(entry.getKey(), entry.getValue());
+        }
+
+        logger.info("Blocking in SyncControl (most total time first):");
+        contention.entrySet().stream()
+                .sorted(Comparator.comparingLong((Map.Entry<String, List<Long>> e) -> total(e.getValue())).reversed())
+                .forEach(e -> logStats(e.getKey(), e.getValue()));
+    }
+
+    // Stage of a booking event. Operator waits are split by admission decision, since customers turned
+    // away before queueing return at once and would hide the wait of the admitted ones.
+    private static String stage(RecordedEvent event)
+    {
+        String name = event.getEventType().getName();
+        if (!name.equals(OperatorWaitEvent.NAME)) return label(name);
+        return label(name) + " (" + event.getString("decision") + ")";
+    }
+
+    // Lock, SyncControl method and kind of blocking of a monitor or park event, null when it is not SyncControl's.
+    // The lock is SyncControl's own only when SyncControl is the first frame above the lock implementation;
+    // otherwise the frame in between (a logger, for example) holds the contended lock and names it.
+    private static String blocker(RecordedEvent event)
+    {
+        RecordedStackTrace stackTrace = event.getStackTrace();
+        if (stackTrace == null) return null;
+
+        boolean monitorEnter = event.getEventType().getName().equals("jdk.JavaMonitorEnter");
+        boolean conditionWait = false;
+        String owner = null; // The method that blocked, when it is not SyncControl's own
+
+        for (RecordedFrame frame : stackTrace.getFrames())
+        {
+            if (!frame.isJavaFrame()) continue;
+
+            String type = frame.getMethod().getType().getName();
+            String method = frame.getMethod().getName();
+
+            if (type.equals(SyncControl.class.getName()))
+            {
+                String lock = (owner != null) ? owner : LOCKS.getOrDefault(method, "other");
+                String kind = monitorEnter ? "monitor enter" : conditionWait ? "condition wait" : "lock";
+                return lock + " / " + method + " / " + kind;
+            }
+            if (type.endsWith("SimulationClock")) return null; // Simulated sleep, not contention
+            if (owner != null) continue; // Only the calling SyncControl method is left to find
+
+            if (!monitorEnter && isLockImplementation(type))
+            {
+                if (type.endsWith("ConditionObject")) conditionWait = true;
+                continue;
+            }
+            if (type.equals(AdmissionController.Ticket.class.getName())) continue; // Waits on a condition of operatorLock
+
+            owner = type.substring(type.lastIndexOf('.') + 1) + "." + method;
+        }
+        return null;
+    }
+
+    // Frames of the JDK's lock and park machinery (conditions block through ForkJoinPool.managedBlock)
+    private static boolean isLockImplementation(String type)
+    {
+        return type.startsWith("java.util.concurrent.locks.") || type.startsWith("jdk.internal.misc.")
+                || type.equals("java.util.concurrent.ForkJoinPool");
+    }
+
+    private static void logStats(String name, List<Long> durations)
+    {
+        List<Long> micros = new ArrayList<>(durations.size());
+        for (long duration : durations) { micros.add(duration / 1000); }
+
+        logger.info("  {}: count {} / total {} ms / avg {} ms / p50 {} ms / p95 {} ms / max {} ms", name, durations.size(),
+                ms(total(micros)), ms(durations.isEmpty() ? 0 : total(micros) / durations.size()),
+                ms(Statistics.percentile(micros, 0.5)), ms(Statistics.percentile(micros, 0.95)),
+                ms(Statistics.percentile(micros, 1.0)));
+    }
+
+    private static long total(List<Long> values)
+    {
+        long sum = 0;
+        for (long value : values) { sum += value; }
+        return sum;
+    }
+
+    private static String ms(long micros) { return String.format("%.3f", micros / 1000.0); }
+
+    private static String label(String eventName) { return eventName.substring(eventName.indexOf('.') + 1); }
+}
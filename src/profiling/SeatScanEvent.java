@@ -0,0 +1,26 @@
+package profiling;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+@Name(SeatScanEvent.NAME)
+@Label("Seat Scan")
+@Description("Scan of the zone for adjacent free seats after the simulated search time")
+public class SeatScanEvent extends BookingEvent
+{
+    public static final String NAME = "javacinema.SeatScan";
+
+    @Label("Attempts")
+    @Description("Start seats tried, each one takes seatsLock once")
+    public int attempts;
+
+    @Label("Seats Lock Time")
+    @Description("Time spent acquiring and holding seatsLock during the scan")
+    @Timespan(Timespan.NANOSECONDS)
+    public long lockTime;
+
+    @Label("Found")
+    public boolean found;
+}
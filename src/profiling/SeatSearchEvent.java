@@ -0,0 +1,16 @@
+package profiling;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name(SeatSearchEvent.NAME)
+@Label("Seat Search")
+@Description("Whole seat search of a customer while holding an operator, including the simulated search time")
+public class SeatSearchEvent extends BookingEvent
+{
+    public static final String NAME = "javacinema.SeatSearch";
+
+    @Label("Found")
+    public boolean found;
+}
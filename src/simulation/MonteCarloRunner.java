@@ -0,0 +1,326 @@
+package simulation;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.ToDoubleFunction;
+import ch.qos.logback.classic.Level;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import model.Cinema;
+import model.CinemaConfig;
+import syncControl.SyncControl;
+import util.Statistics;
+
+// Batch mode: runs many independent simulations in parallel and aggregates their results into confidence intervals
+public class MonteCarloRunner
+{
+    // SLF4J Logger
+    private static final Logger logger = LoggerFactory.getLogger(MonteCarloRunner.class);
+
+    // Ranges the scenarios are drawn from (staffing uses the autoscaling bounds of Cinema)
+    private static final int MIN_CUSTOMERS = 50;
+    private static final int MAX_CUSTOMERS = 300;
+    private static final int MIN_COST_OF_SEAT_A = 20;
+    private static final int MAX_COST_OF_SEAT_A = 40;
+    private static final int MIN_COST_OF_SEAT_B = 10;
+    private static final int MAX_COST_OF_SEAT_B = 30;
+    private static final int MIN_ROWS_OF_ZONE_A = 5;
+    private static final int MAX_ROWS_OF_ZONE_A = 15;
+    private static final int MIN_ROWS_OF_ZONE_B = 10;
+    private static final int MAX_ROWS_OF_ZONE_B = 30;
+
+    // Simulated seconds per real second. Every real millisecond of scheduling delay costs speedup / 1000
+    // simulated seconds, so much higher speedups make the waits measure host load instead of the cinema.
+    private static final double DEFAULT_SPEEDUP = 100;
+    private static final int SIMULATIONS_PER_CORE = 4;      // Runs mostly sleep, so each core can drive several
+    private static final double Z_95 = 1.96;                // Normal quantile of a 95% confidence interval
+
+    static void main(String[] args) throws InterruptedException
+    {
+        if(args == null || args.length < 2 || args.length > 3)
+        {
+            throw new IllegalArgumentException("Error: Invalid arguments! Valid: 1) Number of runs 2) RNG Seed 3) Time speedup (optional)");
+        }
+
+        int runs;
+        long seed;
+        double speedup;
+
+        try
+        {
+            runs = Integer.parseInt(args[0]);
+            seed = Math.abs(Long.parseLong(args[1]));
+            speedup = (args.length == 3) ? Double.parseDouble(args[2]) : DEFAULT_SPEEDUP;
+        }
+        catch(NumberFormatException e)
+        {
+            throw new IllegalArgumentException("Arguments must be: integer runs, long seed, decimal speedup");
+        }
+
+        if(runs <= 0 || speedup <= 0)
+        {
+            throw new IllegalArgumentException("Number of runs and speedup must be positive");
+        }
+
+        // Per customer logs of thousands of runs would dominate the run time
+        quietLogger("syncControl");
+        quietLogger(Simulation.class.getName());
+
+        logger.info("Runs: {} / Seed: {} / Speedup: {}x / Parallel runs: {}", runs, seed, speedup, parallelism());
+
+        long timeStart = System.currentTimeMillis();
+        List<ScenarioResult> results = runAll(generateScenarios(runs, seed, speedup));
+        long timeEnd = System.currentTimeMillis();
+
+        logger.info("Finished {} runs in {} seconds", results.size(), String.format("%.2f", (timeEnd - timeStart) / 1000.0));
+        logSummary(results);
+    }
+
+    // Draw independent scenarios from one seed
+    public static List<Scenario> generateScenarios(int runs, long seed, double speedup)
+    {
+        Random random = new Random(seed);
+        List<Scenario> scenarios = new ArrayList<>(runs);
+
+        for (int i = 0; i < runs; i++)
+        {
+            CinemaConfig config = new CinemaConfig();
+            config.setRowsOfZoneA(between(random, MIN_ROWS_OF_ZONE_A, MAX_ROWS_OF_ZONE_A));
+            config.setRowsOfZoneB(between(random, MIN_ROWS_OF_ZONE_B, MAX_ROWS_OF_ZONE_B));
+            config.setCostOfSeatA(between(random, MIN_COST_OF_SEAT_A, MAX_COST_OF_SEAT_A));
+            config.setCostOfSeatB(between(random, MIN_COST_OF_SEAT_B, MAX_COST_OF_SEAT_B));
+            config.setNumberOfOperators(between(random, Cinema.MIN_OPERATORS, Cinema.MAX_OPERATORS));
+            config.setNumberOfCashiers(between(random, Cinema.MIN_CASHIERS, Cinema.MAX_CASHIERS));
+            config.setTimeSpeedup(speedup);
+
+            scenarios.add(new Scenario(Math.abs(random.nextLong()), between(random, MIN_CUSTOMERS, MAX_CUSTOMERS), config));
+        }
+        return scenarios;
+    }
+
+    // Run all scenarios with fork/join across all cores
+    public static List<ScenarioResult> runAll(List<Scenario> scenarios)
+    {
+        ScenarioResult[] results = new ScenarioResult[scenarios.size()];
+        ForkJoinPool pool = new ForkJoinPool(parallelism());
+
+        try
+        {
+            pool.invoke(new BatchTask(scenarios, results, 0, scenarios.size()));
+        }
+        finally
+        {
+            pool.shutdown();
+        }
+        return Arrays.asList(results);
+    }
+
+    // Run one scenario on its own SyncControl
+    public static ScenarioResult runScenario(Scenario scenario) throws InterruptedException
+    {
+        SyncControl sync = new SyncControl(scenario.getSeed(), scenario.getConfig());
+        new Simulation(sync, scenario.getCustomers()).run();
+
+        List<Long> operatorWaits = sync.drainOperatorWaits();
+        List<Long> cashierWaits = sync.drainCashierWaits();
+
+        return new ScenarioResult(scenario,
+                sync.getTotalRevenue().get(),
+                sync.getSuccessfulTransactions().get(),
+                sync.getFailedDueToUnavailableSeats().get(),
+                sync.getFailedDueToPayment().get(),
+                sync.getRejectedDueToOverload().get(),
+                new WaitPercentiles(operatorWaits),
+                new WaitPercentiles(cashierWaits));
+    }
+
+    // Log the 95% confidence intervals of all runs and of every staffing level
+    private static void logSummary(List<ScenarioResult> results)
+    {
+        logger.info("All runs ({}):", results.size());
+        logEstimates(results);
+
+        Map<String, List<ScenarioResult>> byStaffing = new TreeMap<>();
+        for (ScenarioResult result : results)
+        {
+            CinemaConfig config = result.getScenario().getConfig();
+            String staffing = config.getNumberOfOperators() + " operators / " + config.getNumberOfCashiers() + " cashiers";
+            byStaffing.computeIfAbsent(staffing, k -> new ArrayList<>()).add(result);
+        }
+
+        for (Map.Entry<String, List<ScenarioResult>> entry : byStaffing.entrySet())
+        {
+            logger.info("{} ({} runs):", entry.getKey(), entry.getValue().size());
+            logEstimates(entry.getValue());
+        }
+    }
+
+    private static void logEstimates(List<ScenarioResult> results)
+    {
+        logger.info("  Revenue: {}$", estimate(results, ScenarioResult::getRevenue));
+        logger.info("  Successful transactions: {}%", estimate(results, r -> r.percentageOf(r.getSuccessful())));
+        logger.info("  Failed due to unavailable seats: {}%", estimate(results, r -> r.percentageOf(r.getFailedDueToUnavailableSeats())));
+        logger.info("  Failed due to payment: {}%", estimate(results, r -> r.percentageOf(r.getFailedDueToPayment())));
+        logger.info("  Rejected due to overload: {}%", estimate(results, r -> r.percentageOf(r.getRejectedDueToOverload())));
+        logger.info("  Operator waiting time p50: {} ms", estimate(results, r -> r.getOperatorWaits().getP50()));
+        logger.info("  Operator waiting time p90: {} ms", estimate(results, r -> r.getOperatorWaits().getP90()));
+        logger.info("  Operator waiting time p99: {} ms", estimate(results, r -> r.getOperatorWaits().getP99()));
+        logger.info("  Cashier waiting time p50: {} ms", estimate(results, r -> r.getCashierWaits().getP50()));
+        logger.info("  Cashier waiting time p90: {} ms", estimate(results, r -> r.getCashierWaits().getP90()));
+        logger.info("  Cashier waiting time p99: {} ms", estimate(results, r -> r.getCashierWaits().getP99()));
+    }
+
+    // Mean and 95% confidence interval half width of a metric
+    private static String estimate(List<ScenarioResult> results, ToDoubleFunction<ScenarioResult> metric)
+    {
+        int n = results.size();
+        double sum = 0;
+        for (ScenarioResult result : results) { sum += metric.applyAsDouble(result); }
+        double mean = sum / n;
+
+        double squares = 0;
+        for (ScenarioResult result : results)
+        {
+            double diff = metric.applyAsDouble(result) - mean;
+            squares += diff * diff;
+        }
+        double halfWidth = (n > 1) ? Z_95 * Math.sqrt(squares / (n - 1)) / Math.sqrt(n) : 0;
+
+        return String.format("%.2f +/- %.2f", mean, halfWidth);
+    }
+
+    private static int parallelism() { return Runtime.getRuntime().availableProcessors() * SIMULATIONS_PER_CORE; }
+
+    private static int between(Random random, int min, int max) { return min + random.nextInt(max - min + 1); }
+
+    private static void quietLogger(String name)
+    {
+        if (LoggerFactory.getLogger(name) instanceof ch.qos.logback.classic.Logger quiet)
+        {
+            quiet.setLevel(Level.WARN);
+        }
+    }
+
+    // Splits the scenarios in halves until a single scenario is left to run
+    private static final class BatchTask extends RecursiveAction
+    {
+        private static final long serialVersionUID = 1L;
+
+        private final List<Scenario> scenarios;
+        private final ScenarioResult[] results;
+        private final int from;
+        private final int to;
+
+        BatchTask(List<Scenario> scenarios, ScenarioResult[] results, int from, int to)
+        {
+            this.scenarios = scenarios;
+            this.results = results;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute()
+        {
+            if (to - from == 1)
+            {
+                try
+                {
+                    results[from] = runScenario(scenarios.get(from));
+                }
+                catch (InterruptedException e)
+                {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("Scenario " + from + " interrupted", e);
+                }
+                return;
+            }
+
+            int middle = (from + to) >>> 1;
+            invokeAll(new BatchTask(scenarios, results, from, middle), new BatchTask(scenarios, results, middle, to));
+        }
+    }
+
+    // Parameters of one run
+    public static final class Scenario
+    {
+        private final long seed;
+        private final int customers;
+        private final CinemaConfig config;
+
+        public Scenario(long seed, int customers, CinemaConfig config)
+        {
+            this.seed = seed;
+            this.customers = customers;
+            this.config = config;
+        }
+
+        public long getSeed() { return seed; }
+        public int getCustomers() { return customers; }
+        public CinemaConfig getConfig() { return config; }
+    }
+
+    // Outcome of one run
+    public static final class ScenarioResult
+    {
+        private final Scenario scenario;
+        private final long revenue;
+        private final int successful;
+        private final int failedDueToUnavailableSeats;
+        private final int failedDueToPayment;
+        private final int rejectedDueToOverload;
+        private final WaitPercentiles operatorWaits;
+        private final WaitPercentiles cashierWaits;
+
+        public ScenarioResult(Scenario scenario, long revenue, int successful, int failedDueToUnavailableSeats,
+                              int failedDueToPayment, int rejectedDueToOverload, WaitPercentiles operatorWaits,
+                              WaitPercentiles cashierWaits)
+        {
+            this.scenario = scenario;
+            this.revenue = revenue;
+            this.successful = successful;
+            this.failedDueToUnavailableSeats = failedDueToUnavailableSeats;
+            this.failedDueToPayment = failedDueToPayment;
+            this.rejectedDueToOverload = rejectedDueToOverload;
+            this.operatorWaits = operatorWaits;
+            this.cashierWaits = cashierWaits;
+        }
+
+        // Share of the run's customers (percentage)
+        double percentageOf(int count) { return count * 100.0 / scenario.getCustomers(); }
+
+        public Scenario getScenario() { return scenario; }
+        public long getRevenue() { return revenue; }
+        public int getSuccessful() { return successful; }
+        public int getFailedDueToUnavailableSeats() { return failedDueToUnavailableSeats; }
+        public int getFailedDueToPayment() { return failedDueToPayment; }
+        public int getRejectedDueToOverload() { return rejectedDueToOverload; }
+        public WaitPercentiles getOperatorWaits() { return operatorWaits; }
+        public WaitPercentiles getCashierWaits() { return cashierWaits; }
+    }
+
+    // Waiting time percentiles of one queue of a run
+    public static final class WaitPercentiles
+    {
+        private final long p50;   // ms
+        private final long p90;   // ms
+        private final long p99;   // ms
+
+        public WaitPercentiles(List<Long> waits)
+        {
+            this.p50 = Statistics.percentile(waits, 0.5);
+            this.p90 = Statistics.percentile(waits, 0.9);
+            this.p99 = Statistics.percentile(waits, 0.99);
+        }
+
+        public long getP50() { return p50; }
+        public long getP90() { return p90; }
+        public long getP99() { return p99; }
+    }
+}
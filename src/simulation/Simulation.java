@@ -0,0 +1,123 @@
+package simulation;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import model.Cinema;
+import model.CustomerRequest;
+import syncControl.SimulationClock;
+import syncControl.SyncControl;
+
+// One run of the cinema: customers arrive one after another and each one books on its own thread
+public class Simulation
+{
+    // SLF4J Logger
+    private static final Logger logger = LoggerFactory.getLogger(Simulation.class);
+
+    private final SyncControl sync;
+    private final int numberOfCustomers;
+
+    // Constructor
+    public Simulation(SyncControl sync, int numberOfCustomers)
+    {
+        if (numberOfCustomers <= 0)
+        {
+            throw new IllegalArgumentException("Number of customers must be positive");
+        }
+
+        this.sync = sync;
+        this.numberOfCustomers = numberOfCustomers;
+    }
+
+    // Create all customers and wait until every customer has finished
+    public void run() throws InterruptedException
+    {
+        SimulationClock clock = sync.getClock();
+
+        // Customers
+        int[] customerIds = new int[numberOfCustomers];
+
+        // Set all ids starting from id = 1
+        for(int i = 0; i < numberOfCustomers; i++) { customerIds[i] = i + 1; }
+
+        // Customer Threads
+        List<Thread> customerThreads = new ArrayList<>();
+
+        try
+        {
+            for(int customer = 0; customer < numberOfCustomers; customer++)
+            {
+                int customerId = customerIds[customer]; // Get customer
+
+                if(customer > 0)
+                {
+                    int range = (int)(Cinema.MAX_CREATION_TIME - Cinema.MIN_CREATION_TIME + 1);
+                    int delay = sync.nextIntValue(range) + (int)Cinema.MIN_CREATION_TIME;
+
+                    clock.sleep(delay * 1000L);
+                }
+
+                Thread t = new Thread(() -> serveCustomer(customerId));
+                customerThreads.add(t);
+                t.start();
+            }
+        }
+        finally
+        {
+            for (Thread t : customerThreads) { t.join(); }
+        }
+    }
+
+    // Booking flow of one customer
+    private void serveCustomer(int customerId)
+    {
+        SimulationClock clock = sync.getClock();
+        MDC.put("customerId", String.valueOf(customerId));
+        long timeStart = clock.currentTimeMillis();
+
+        try
+        {
+            CustomerRequest request = new CustomerRequest();
+            request.setId(customerId);
+            MDC.put("customerId", String.valueOf(customerId));
+            sync.describeRequest(request);
+            logger.info("Customer <{}> is calling", customerId);
+
+            if(sync.acquireOperator(request) == Cinema.State.FAIL)
+            {
+                logger.info("Customer <{}> Turned away without an operator", customerId);
+            }
+            else
+            {
+                Cinema.State found;
+                try
+                {
+                    found = sync.findSeats(request); // Fails at once when no run of the requested seats is left
+                }
+                finally
+                {
+                    sync.releaseOperator();
+                }
+
+                if(found == Cinema.State.SUCCESS)
+                {
+                    sync.acquireCashier(request);
+                    sync.processPayment(request);
+                    sync.releaseCashier();
+                }
+            }
+        }
+        catch(InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+            logger.error("Customer <{}> thread interrupted: {}", customerId, e.getMessage());
+        }
+
+        long timeEnd = clock.currentTimeMillis();
+        long duration = timeEnd - timeStart;
+        sync.getSumOfTransactionsTime().addAndGet(duration);
+        MDC.clear();
+    }
+}
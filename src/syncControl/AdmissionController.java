@@ -0,0 +1,104 @@
+package syncControl;
+
+import java.util.Comparator;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import model.Cinema;
+import model.CustomerRequest;
+
+// Operator queue ordered by priority class, plus the checks that turn customers away before they join it.
+// Not thread safe: SyncControl only calls it while holding operatorLock.
+// Every ticket waits on its own condition, so only the customer at the head is woken up.
+public class AdmissionController
+{
+    public enum Decision { ADMIT, SOLD_OUT, OVERLOADED }   // Outcome of an admission check
+
+    private final SimulationClock clock;
+    private final Lock lock;               // Lock the tickets' conditions belong to
+    private final long agingMs;            // Waiting time that is worth one priority class (ms)
+    private final long latencyBudgetMs;    // Longest expected operator wait before rejecting (ms)
+    private final long serviceTimeMs;      // Expected time an operator spends on one customer (ms)
+    private long nextSequence = 0;         // Arrival order of tickets
+
+    // Lowest key first. The key is fixed on arrival, so the order never changes while customers wait.
+    private final PriorityQueue<Ticket> queue = new PriorityQueue<>(
+            Comparator.comparingLong((Ticket t) -> t.key).thenComparingLong(t -> t.sequence));
+
+    // Constructor
+    public AdmissionController(SimulationClock clock, Lock lock)
+    {
+        this.clock = clock;
+        this.lock = lock;
+        this.agingMs = (long)(Cinema.PRIORITY_AGING_TIME * 1000);
+        this.latencyBudgetMs = (long)(Cinema.OPERATOR_LATENCY_BUDGET * 1000);
+        this.serviceTimeMs = (long)((Cinema.MIN_SEARCH_TIME + Cinema.MAX_SEARCH_TIME) / 2 * 1000);
+    }
+
+    // Check a new customer against the current queue before it joins
+    public Decision admit(CustomerRequest request, int operators, boolean seatsLeft)
+    {
+        if (!seatsLeft) return Decision.SOLD_OUT; // No run of the requested seats is left, waiting is pointless
+
+        // Members are never rejected for latency, everybody else only waits behind customers ranked ahead
+        if (request.getPriority() == Cinema.Priority.MEMBER) return Decision.ADMIT;
+
+        long key = key(request, clock.currentTimeMillis());
+        int ahead = 0;
+        for (Ticket ticket : queue)
+        {
+            if (ticket.key <= key) ahead++;
+        }
+
+        long expectedWait = (ahead / Math.max(1, operators)) * serviceTimeMs; // Full rounds of service before its turn
+        return (expectedWait > latencyBudgetMs) ? Decision.OVERLOADED : Decision.ADMIT;
+    }
+
+    // Put a customer in the queue
+    public Ticket enqueue(CustomerRequest request)
+    {
+        Ticket ticket = new Ticket(nextSequence++, key(request, clock.currentTimeMillis()), lock.newCondition());
+        queue.add(ticket);
+        return ticket;
+    }
+
+    // Whether the customer is served next
+    public boolean isNext(Ticket ticket) { return queue.peek() == ticket; }
+
+    // Take a customer out of the queue (served or gave up)
+    public void remove(Ticket ticket) { queue.remove(ticket); }
+
+    public boolean isEmpty() { return queue.isEmpty(); }
+
+    // Wake up the customer at the head of the queue, if any
+    public void signalNext()
+    {
+        Ticket next = queue.peek();
+        if (next != null) next.turn.signal();
+    }
+
+    // Arrival time pushed back by one aging period per class below MEMBER, so a customer that waited
+    // long enough is served before higher classes that arrived later (no starvation)
+    private long key(CustomerRequest request, long arrival)
+    {
+        return arrival + request.getPriority().ordinal() * agingMs;
+    }
+
+    // Waiting customer in the operator queue
+    public static final class Ticket
+    {
+        private final long sequence;
+        private final long key;
+        private final Condition turn;     // Signalled when the ticket may have reached the head with an operator free
+
+        private Ticket(long sequence, long key, Condition turn)
+        {
+            this.sequence = sequence;
+            this.key = key;
+            this.turn = turn;
+        }
+
+        // Wait for a signal (the caller must hold the lock and re-check its turn afterwards)
+        public void await() throws InterruptedException { turn.await(); }
+    }
+}
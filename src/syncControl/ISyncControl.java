@@ -5,17 +5,19 @@ import model.CustomerRequest;
 interface ISyncControl
 {
     // Operators' Locks
-    void acquireOperator(CustomerRequest request) throws InterruptedException;
+    Cinema.State acquireOperator(CustomerRequest request) throws InterruptedException;
     void releaseOperator();
 
     // Cashiers' Locks
-    void acquireCashier() throws InterruptedException;
+    void acquireCashier(CustomerRequest request) throws InterruptedException;
     void releaseCashier();
 
     // Cinema Seats
+    void describeRequest(CustomerRequest request);
     Cinema.State reserveSeats(CustomerRequest request);
     Cinema.Zone askZone(CustomerRequest request);
     Cinema.State findSeats(CustomerRequest request);
+    boolean hasCapacity(CustomerRequest request);
     void changeAvailabilityStatus(CustomerRequest request, Cinema.SeatStatus newStatus);
     boolean tryReserveAt(int startIndex, int seatsNeeded, CustomerRequest request);
     void rollbackSeatReservations(CustomerRequest request, int reservedSeatsCount);
@@ -0,0 +1,197 @@
+package syncControl;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntConsumer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import model.Cinema;
+import util.Statistics;
+
+// Grows and shrinks the operator and cashier pools of a SyncControl based on queue length and wait percentiles
+public class ResourceController
+{
+    // SLF4J Logger
+    private static final Logger logger = LoggerFactory.getLogger(ResourceController.class);
+
+    private final SyncControl sync;
+    private final SimulationClock clock;
+    private final ScheduledExecutorService scheduler;
+    private final long intervalMs;       // Time between staffing decisions (ms)
+    private final long targetWaitMs;     // Wait time percentile the controller aims for (ms)
+
+    // Statistics for the run report
+    private final Pool operators;
+    private final Pool cashiers;
+    private long startTime;
+    private long stopTime;
+
+    // Constructor
+    public ResourceController(SyncControl sync)
+    {
+        this.sync = sync;
+        this.clock = sync.getClock();
+        this.intervalMs = (long)(Cinema.SCALING_INTERVAL * 1000);
+        this.targetWaitMs = (long)(Cinema.TARGET_WAIT_TIME * 1000);
+        this.operators = new Pool("operators", Cinema.MIN_OPERATORS, Cinema.MAX_OPERATORS, Cinema.COST_OF_OPERATOR,
+                cooldownMillis(Cinema.MIN_SEARCH_TIME, Cinema.MAX_SEARCH_TIME), sync.getOperatorPoolSize(), sync::resizeOperators);
+        this.cashiers = new Pool("cashiers", Cinema.MIN_CASHIERS, Cinema.MAX_CASHIERS, Cinema.COST_OF_CASHIER,
+                cooldownMillis(Cinema.MIN_PAYMENT_TIME, Cinema.MAX_PAYMENT_TIME), sync.getCashierPoolSize(), sync::resizeCashiers);
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(r ->
+        {
+            Thread t = new Thread(r, "resource-controller");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    // Start periodic staffing decisions
+    public void start()
+    {
+        startTime = clock.currentTimeMillis();
+        operators.lastUpdate = operators.lastBusy = startTime;
+        cashiers.lastUpdate = cashiers.lastBusy = startTime;
+        long intervalNanos = clock.toRealNanos(intervalMs); // Decisions follow simulated time
+        scheduler.scheduleWithFixedDelay(this::adjust, intervalNanos, intervalNanos, TimeUnit.NANOSECONDS); // Late ticks are not caught up
+    }
+
+    // Stop the controller and account for the staffing of the last partial interval
+    public void stop() throws InterruptedException
+    {
+        scheduler.shutdown();
+        scheduler.awaitTermination(clock.toRealNanos(intervalMs), TimeUnit.NANOSECONDS);
+        stopTime = clock.currentTimeMillis();
+
+        // Collect waits recorded after the last decision
+        operators.close(sync.drainOperatorWaits(), stopTime);
+        cashiers.close(sync.drainCashierWaits(), stopTime);
+    }
+
+    // One staffing decision for both pools
+    private void adjust()
+    {
+        try
+        {
+            long now = clock.currentTimeMillis();
+            operators.adjust(sync.getWaitingForOperator(), sync.getAvailableOperators(), sync.drainOperatorWaits(), now);
+            cashiers.adjust(sync.getWaitingForCashier(), sync.getAvailableCashiers(), sync.drainCashierWaits(), now);
+        }
+        catch (RuntimeException e)
+        {
+            // An exception would silently cancel the scheduled task
+            logger.error("Staffing decision failed: {}", e.getMessage());
+        }
+    }
+
+    // Log the latency versus staffing cost trade-off of the run
+    public void logReport(long totalRevenue)
+    {
+        double hours = (stopTime - startTime) / 3_600_000.0;
+        logger.info("Staffing report ({} seconds):", String.format("%.2f", (stopTime - startTime) / 1000.0));
+
+        double totalCost = 0;
+        for (Pool pool : new Pool[] { operators, cashiers })
+        {
+            double averageSize = (hours > 0) ? pool.staffHours / hours : pool.size;
+            double cost = pool.staffHours * pool.costPerHour;
+            totalCost += cost;
+
+            logger.info("Pool of {}: average {} / peak {} / final {} / scaling changes {}", pool.name,
+                    String.format("%.2f", averageSize), pool.peak, pool.size, pool.changes);
+            logger.info("Pool of {}: wait p50 {} ms / p90 {} ms / p99 {} ms / staffing cost {}$", pool.name,
+                    Statistics.percentile(pool.allWaits, 0.5), Statistics.percentile(pool.allWaits, 0.9), Statistics.percentile(pool.allWaits, 0.99),
+                    String.format("%.2f", cost));
+        }
+
+        logger.info("Total staffing cost: {}$", String.format("%.2f", totalCost));
+        logger.info("Revenue after staffing cost: {}$", String.format("%.2f", totalRevenue - totalCost));
+    }
+
+    // Cooldown before shrinking for a service time range given in seconds (ms)
+    private static long cooldownMillis(float min, float max) { return (long)((min + max) / 2 * 1000 * Cinema.SCALING_COOLDOWN); }
+
+    // Scaling state of one pool of workers
+    private final class Pool
+    {
+        private final String name;
+        private final int min;
+        private final int max;
+        private final double costPerHour;
+        private final long cooldownMs;                   // Time with an idle worker before the pool may shrink (ms)
+        private final IntConsumer resize;
+
+        private int size;                                // Workers currently on duty
+        private int peak;                                // Largest pool size of the run
+        private int changes;                             // How many times the pool was resized
+        private double staffHours;                       // Worker hours paid so far
+        private long lastUpdate;                         // Time staffHours was last updated
+        private long lastBusy;                           // Last time customers queued, no worker was idle or the pool was resized
+        private int overTarget;                          // Consecutive intervals with the wait percentile over target
+        private int queuedIntervals;                     // Consecutive intervals with customers queued
+        private final List<Long> allWaits = new ArrayList<>(); // Every wait of the run (ms)
+
+        Pool(String name, int min, int max, double costPerHour, long cooldownMs, int size, IntConsumer resize)
+        {
+            this.name = name;
+            this.min = min;
+            this.max = max;
+            this.costPerHour = costPerHour;
+            this.cooldownMs = cooldownMs;
+            this.resize = resize;
+            this.size = size;
+            this.peak = size;
+        }
+
+        // Grow when the queue is at least as long as the pool, or when customers keep queueing or waits stay
+        // over target for several intervals; shrink only after a worker stayed idle for the whole cooldown
+        void adjust(int queued, int idle, List<Long> waits, long now)
+        {
+            account(waits, now);
+            long observed = Statistics.percentile(waits, Cinema.WAIT_PERCENTILE);
+
+            overTarget = (observed > targetWaitMs) ? overTarget + 1 : 0;
+            queuedIntervals = (queued > 0) ? queuedIntervals + 1 : 0;
+            boolean busy = queued > 0 || idle <= 0; // Customers waiting or every worker occupied
+            if (busy) lastBusy = now;
+
+            boolean sustained = queued >= size || queuedIntervals >= Cinema.SCALING_PATIENCE
+                    || overTarget >= Cinema.SCALING_PATIENCE;
+
+            int newSize = size;
+            if (sustained && size < max)
+            {
+                newSize = size + 1;
+            }
+            else if (!busy && observed <= targetWaitMs / 2 && now - lastBusy >= cooldownMs && size > min)
+            {
+                newSize = size - 1;
+            }
+
+            if (newSize != size)
+            {
+                resize.accept(newSize);
+                logger.info("Resized {} from {} to {} (queue {}, p{} wait {} ms)", name, size, newSize, queued,
+                        (int)(Cinema.WAIT_PERCENTILE * 100), observed);
+                size = newSize;
+                peak = Math.max(peak, size);
+                changes++;
+                overTarget = 0;
+                queuedIntervals = 0;
+                lastBusy = now; // Give the new size a full cooldown before shrinking
+            }
+        }
+
+        // Final accounting when the controller stops
+        void close(List<Long> waits, long now) { account(waits, now); }
+
+        private void account(List<Long> waits, long now)
+        {
+            staffHours += size * (now - lastUpdate) / 3_600_000.0;
+            lastUpdate = now;
+            allWaits.addAll(waits);
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package syncControl;
+
+import model.Cinema;
+import model.CinemaConfig;
+
+// Longest free runs of every zone, so a request can be checked without scanning the seats.
+// Not thread safe: SyncControl only calls it while holding seatsLock.
+public class SeatCapacityIndex
+{
+    private final CinemaConfig config;
+    private final int[] rowMaxRun;        // Longest run of adjacent free seats of every row
+    private final int[][] rowsWithRun;    // [zone][k]: rows of the zone with a free run of at least k seats
+
+    // Constructor
+    public SeatCapacityIndex(CinemaConfig config, int[] seats)
+    {
+        this.config = config;
+        int rows = config.getRowsOfZoneA() + config.getRowsOfZoneB();
+        this.rowMaxRun = new int[rows];
+        this.rowsWithRun = new int[Cinema.Zone.values().length][config.getNumberOfRowSeats() + 1];
+
+        for (int row = 0; row < rows; row++) { updateRow(seats, row); }
+    }
+
+    // Refresh every row between two seats (inclusive) after they changed (0 in seats means free)
+    public void update(int[] seats, int fromSeat, int toSeat)
+    {
+        if (fromSeat < 0 || toSeat >= seats.length || fromSeat > toSeat) return;
+
+        for (int row = fromSeat / config.getNumberOfRowSeats(); row <= toSeat / config.getNumberOfRowSeats(); row++)
+        {
+            updateRow(seats, row);
+        }
+    }
+
+    // Whether a zone still has a row with seatsNeeded adjacent free seats
+    public boolean canFit(Cinema.Zone zone, int seatsNeeded)
+    {
+        if (seatsNeeded <= 0) return true;
+        if (seatsNeeded > config.getNumberOfRowSeats()) return false;
+        return rowsWithRun[zone.ordinal()][seatsNeeded] > 0;
+    }
+
+    private void updateRow(int[] seats, int row)
+    {
+        int rowStart = row * config.getNumberOfRowSeats();
+        int maxRun = 0, run = 0;
+        for (int seat = rowStart; seat < rowStart + config.getNumberOfRowSeats(); seat++)
+        {
+            if (seats[seat] == 0)
+            {
+                run++;
+                maxRun = Math.max(maxRun, run);
+            }
+            else
+            {
+                run = 0;
+            }
+        }
+
+        int zone = (row < config.getRowsOfZoneA()) ? Cinema.Zone.A.ordinal() : Cinema.Zone.B.ordinal();
+        int[] runs = rowsWithRun[zone];
+        for (int k = rowMaxRun[row] + 1; k <= maxRun; k++) { runs[k]++; } // Run grew
+        for (int k = maxRun + 1; k <= rowMaxRun[row]; k++) { runs[k]--; } // Run shrank
+
+        rowMaxRun[row] = maxRun;
+    }
+}
@@ -0,0 +1,58 @@
+package syncControl;
+
+import java.util.concurrent.locks.LockSupport;
+
+// Simulated time of one run. With speedup 1 it is real time, with speedup N every simulated second lasts 1/N real seconds.
+public class SimulationClock
+{
+    private final double speedup;       // Simulated seconds per real second
+    private final long originNanos;     // Real time the clock started (ns)
+    private final long originMillis;    // Wall clock time the clock started (ms)
+
+    // Constructor
+    public SimulationClock(double speedup)
+    {
+        if (speedup <= 0)
+        {
+            throw new IllegalArgumentException("Clock speedup must be > 0");
+        }
+
+        this.speedup = speedup;
+        this.originNanos = System.nanoTime();
+        this.originMillis = System.currentTimeMillis();
+    }
+
+    // Current simulated time (ms)
+    public long currentTimeMillis()
+    {
+        double simulatedNanos = (System.nanoTime() - originNanos) * speedup;
+        return originMillis + (long)(simulatedNanos / 1_000_000);
+    }
+
+    // Sleep for a simulated duration (ms)
+    public void sleep(long millis) throws InterruptedException
+    {
+        if (speedup == 1.0)
+        {
+            Thread.sleep(millis);
+            return;
+        }
+
+        // Thread.sleep only has millisecond precision, which is too coarse for short scaled sleeps
+        long deadline = System.nanoTime() + toRealNanos(millis);
+        long remaining;
+        while ((remaining = deadline - System.nanoTime()) > 0)
+        {
+            LockSupport.parkNanos(remaining);
+            if (Thread.interrupted())
+            {
+                throw new InterruptedException("Sleep interrupted");
+            }
+        }
+    }
+
+    // Real duration (ns) of a simulated duration (ms)
+    public long toRealNanos(long millis) { return (long)(millis * 1_000_000 / speedup); }
+
+    public double getSpeedup() { return speedup; }
+}
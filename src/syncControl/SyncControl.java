@@ -1,6 +1,9 @@
 package syncControl;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Random;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.Condition;
@@ -9,7 +12,9 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.slf4j.MDC;
 import model.Cinema;
+import model.CinemaConfig;
 import model.CustomerRequest;
+import profiling.*;
 
 
 public class SyncControl implements ISyncControl
@@ -17,6 +22,10 @@ public class SyncControl implements ISyncControl
     // SLF4J Logger
     private static final Logger logger = LoggerFactory.getLogger(SyncControl.class);
 
+    // Cinema parameters and simulated time of this run
+    private final CinemaConfig config;
+    private final SimulationClock clock;
+
     // RNG
     private final Random syncRandom;
     private long syncSeed = System.currentTimeMillis();
@@ -24,41 +33,67 @@ public class SyncControl implements ISyncControl
 
     // Operators
     private final ReentrantLock operatorLock = new ReentrantLock();
-    private final Condition operatorCondition = operatorLock.newCondition();
-    private int availableOperators = Cinema.NUMBER_OF_OPERATORS;
+    private int availableOperators;
+    private int operatorPoolSize;                                    // Operators currently on duty
+    private int waitingForOperator = 0;                              // Customers queued for an operator
+    private final AdmissionController admission;                     // Operator queue order (operatorLock)
+    private final ConcurrentLinkedQueue<Long> operatorWaits = new ConcurrentLinkedQueue<>(); // Waits since last drain (ms)
     private final AtomicInteger transactionNumber = new AtomicInteger(0);
 
     // Cashiers
     private final ReentrantLock cashierLock = new ReentrantLock();
     private final Condition cashierCondition = cashierLock.newCondition();
-    private int availableCashiers = Cinema.NUMBER_OF_CASHIERS;
+    private int availableCashiers;
+    private int cashierPoolSize;                                     // Cashiers currently on duty
+    private int waitingForCashier = 0;                               // Customers queued for a cashier
+    private final ConcurrentLinkedQueue<Long> cashierWaits = new ConcurrentLinkedQueue<>(); // Waits since last drain (ms)
 
     // Seats
     private final ReentrantLock seatsLock = new ReentrantLock();
     private final int[] cinemaSeats;
     private int availableSeats;
+    private final SeatCapacityIndex capacityIndex;                   // Free runs of every zone (seatsLock)
 
     // Shared values
     private final AtomicLong totalRevenue = new AtomicLong(0);
     private final AtomicInteger successfulTransactions = new AtomicInteger(0);
     private final AtomicInteger failedDueToUnavailableSeats = new AtomicInteger(0);
     private final AtomicInteger failedDueToPayment = new AtomicInteger(0);
+    private final AtomicInteger rejectedDueToOverload = new AtomicInteger(0);
     private final AtomicLong sumOfTransactionsTime =  new AtomicLong(0); // ms
     private final AtomicLong sumOfWaitingTime =  new AtomicLong(0); // ms
 
     // Constructor
     public SyncControl()
     {
-        int totalSeats = (Cinema.ROWS_OF_ZONE_A + Cinema.ROWS_OF_ZONE_B) * Cinema.NUMBER_OF_ROW_SEATS;
+        this(new CinemaConfig());
+    }
+
+    // Custom Constructor to add seed
+    public SyncControl(long seed)
+    {
+        this(seed, new CinemaConfig());
+    }
+
+    // Custom Constructor to change cinema parameters
+    public SyncControl(CinemaConfig config)
+    {
+        this.config = config;
+        this.clock = new SimulationClock(config.getTimeSpeedup());
+        this.admission = new AdmissionController(clock, operatorLock);
+        int totalSeats = config.getTotalSeats();
         this.cinemaSeats = new int[totalSeats];
         this.availableSeats = totalSeats;
+        this.capacityIndex = new SeatCapacityIndex(config, cinemaSeats);
+        this.availableOperators = this.operatorPoolSize = config.getNumberOfOperators();
+        this.availableCashiers = this.cashierPoolSize = config.getNumberOfCashiers();
         this.syncRandom = new Random(syncSeed);
     }
 
-    // Custom Constructor to add seed
-    public SyncControl(long seed)
+    // Custom Constructor to add seed and change cinema parameters
+    public SyncControl(long seed, CinemaConfig config)
     {
-        this(); // Call default constructor
+        this(config);
         this.syncSeed = seed;
         this.syncRandom.setSeed(seed);
     }
@@ -88,29 +123,129 @@ public class SyncControl implements ISyncControl
     }
 
 
+    // Change how many operators are on duty. Busy operators that are removed finish their call first,
+    // which is why availableOperators may temporarily drop below zero after shrinking.
+    public void resizeOperators(int newPoolSize)
+    {
+        if (newPoolSize <= 0)
+        {
+            throw new IllegalArgumentException("Operator pool size must be > 0");
+        }
+
+        operatorLock.lock();
+        try
+        {
+            int delta = newPoolSize - operatorPoolSize;
+            operatorPoolSize = newPoolSize;
+            availableOperators += delta;
+            if (delta > 0) admission.signalNext(); // New operators can answer waiting calls, the head passes it on
+        }
+        finally
+        {
+            operatorLock.unlock();
+        }
+    }
+
+    // Change how many cashiers are on duty (same semantics as resizeOperators)
+    public void resizeCashiers(int newPoolSize)
+    {
+        if (newPoolSize <= 0)
+        {
+            throw new IllegalArgumentException("Cashier pool size must be > 0");
+        }
+
+        cashierLock.lock();
+        try
+        {
+            int delta = newPoolSize - cashierPoolSize;
+            cashierPoolSize = newPoolSize;
+            availableCashiers += delta;
+            if (delta > 0) cashierCondition.signalAll(); // New cashiers can serve waiting customers
+        }
+        finally
+        {
+            cashierLock.unlock();
+        }
+    }
+
+    // Remove and return the operator wait times (ms) recorded since the previous call
+    public List<Long> drainOperatorWaits() { return drain(operatorWaits); }
+
+    // Remove and return the cashier wait times (ms) recorded since the previous call
+    public List<Long> drainCashierWaits() { return drain(cashierWaits); }
+
+    private static List<Long> drain(ConcurrentLinkedQueue<Long> queue)
+    {
+        List<Long> drained = new ArrayList<>();
+        Long waited;
+        while ((waited = queue.poll()) != null) { drained.add(waited); }
+        return drained;
+    }
+
+
     //----------------------------------INTERFACE IMPLEMENTATIONS-------------------------------------------------------
     @Override
-    public void acquireOperator(CustomerRequest request) throws InterruptedException
+    public Cinema.State acquireOperator(CustomerRequest request) throws InterruptedException
     {
         MDC.put("customerId", String.valueOf(request.getId()));
+        OperatorWaitEvent event = new OperatorWaitEvent(); // Flight Recorder stage event
+        event.begin();
         operatorLock.lock(); // Lock cinema's operator
         try
         {
-            long waitStart = System.currentTimeMillis(); // Start timer for phone call
+            long waitStart = clock.currentTimeMillis(); // Start timer for phone call
 
-            while(availableOperators <= 0) // Wait until there are available operators
+            // Turn the customer away before queueing when the call cannot end in a booking in time
+            AdmissionController.Decision decision = admission.admit(request, operatorPoolSize, hasCapacity(request));
+            event.describe(request);
+            event.priority = String.valueOf(request.getPriority());
+            event.decision = String.valueOf(decision);
+            event.queued = waitingForOperator;
+
+            if(decision != AdmissionController.Decision.ADMIT)
             {
-                operatorCondition.await();
+                event.commit();
+                if(decision == AdmissionController.Decision.SOLD_OUT) failedDueToUnavailableSeats.incrementAndGet();
+                else rejectedDueToOverload.incrementAndGet();
+
+                request.setState(Cinema.State.FAIL);
+                logger.info("Customer <{}> Rejected before queueing ({}, priority {})", request.getId(), decision, request.getPriority());
+                return Cinema.State.FAIL;
+            }
+
+            AdmissionController.Ticket ticket = admission.enqueue(request);
+            waitingForOperator++; // Customer joins the phone queue
+            boolean served = false;
+            try
+            {
+                // Wait until an operator is available and the customer is next in line
+                while(availableOperators <= 0 || !admission.isNext(ticket))
+                {
+                    ticket.await();
+                }
+                availableOperators--; // The operator answers the customer's call
+                served = true;
+            }
+            finally
+            {
+                boolean wasNext = admission.isNext(ticket);
+                admission.remove(ticket);
+                waitingForOperator--; // Customer leaves the phone queue
+
+                // Wake the new head only if it can be served now, or if this head gave up its turn
+                if(availableOperators > 0 || (wasNext && !served)) admission.signalNext();
             }
-            availableOperators--; // The operator answers the customer's call
             request.setTransaction_number(transactionNumber.getAndIncrement()); // New transaction
 
-            long waitEnd = System.currentTimeMillis(); // Stop timer
+            long waitEnd = clock.currentTimeMillis(); // Stop timer
             long waited = waitEnd - waitStart; // How long the customer waited for phone call
 
             request.setWaited(request.getWaited() + (float)(waited / 1000.0f));  // Milliseconds to seconds
             sumOfWaitingTime.addAndGet(waited); // Update sum
-            logger.info("Customer <{}> Acquired operator, waited {} ms", request.getId() ,waited);
+            operatorWaits.add(waited);
+            logger.info("Customer <{}> Acquired operator, waited {} ms (priority {})", request.getId() ,waited, request.getPriority());
+            event.commit();
+            return Cinema.State.SUCCESS;
         }
         catch(InterruptedException e)
         {
@@ -134,7 +269,7 @@ public class SyncControl implements ISyncControl
         try
         {
             availableOperators++;
-            operatorCondition.signalAll(); // Notify that operator is released
+            admission.signalNext(); // Notify the customer next in line that an operator is released
             logger.info("Released operator");
         }
         finally
@@ -145,23 +280,38 @@ public class SyncControl implements ISyncControl
 
 
     @Override
-    public void acquireCashier() throws InterruptedException
+    public void acquireCashier(CustomerRequest request) throws InterruptedException
     {
+        CashierWaitEvent event = new CashierWaitEvent(); // Flight Recorder stage event
+        event.begin();
         cashierLock.lock(); // Lock cinema's cashier
 
         try
         {
-            long waitStart = System.currentTimeMillis(); // Start timer
-            while(availableCashiers <= 0)
+            long waitStart = clock.currentTimeMillis(); // Start timer
+            event.describe(request);
+            event.queued = waitingForCashier;
+
+            waitingForCashier++; // Customer joins the cashier queue
+            try
             {
-                cashierCondition.await(); // Wait until a cashier is available for payment
+                while(availableCashiers <= 0)
+                {
+                    cashierCondition.await(); // Wait until a cashier is available for payment
+                }
+            }
+            finally
+            {
+                waitingForCashier--; // Customer leaves the cashier queue
             }
             availableCashiers--;
-            long waitEnd = System.currentTimeMillis(); // Stop timer
+            long waitEnd = clock.currentTimeMillis(); // Stop timer
             long waited = waitEnd - waitStart; // How long the customer waited for a cashier
 
             sumOfWaitingTime.addAndGet(waited);
+            cashierWaits.add(waited);
             logger.info("Acquired cashier, waited {} ms", waited);
+            event.commit();
         }
         finally
         {
@@ -189,6 +339,8 @@ public class SyncControl implements ISyncControl
     @Override
     public Cinema.State reserveSeats(CustomerRequest request)
     {
+        if (!hasCapacity(request)) return Cinema.State.FAIL; // Don't search for seats that cannot exist
+
         int range = (int)Cinema.MAX_SEARCH_TIME - (int)Cinema.MIN_SEARCH_TIME + 1; // RNG time range
         int searchTime = nextIntValue(range) + (int)Cinema.MIN_SEARCH_TIME;
 
@@ -196,7 +348,7 @@ public class SyncControl implements ISyncControl
 
         try
         {
-            Thread.sleep(sleepTime); // Sleep a few seconds
+            clock.sleep(sleepTime); // Sleep a few seconds
         }
         catch(InterruptedException e)
         {
@@ -205,34 +357,48 @@ public class SyncControl implements ISyncControl
             return Cinema.State.FAIL;
         }
 
-        int zoneStart, zoneEnd; // Indexes of seats' array
+        if (!hasCapacity(request)) return Cinema.State.FAIL; // Seats may have been taken during the search
 
-        if(request.getRequestedZone() == Cinema.Zone.A) // Zone A
-        {
-            zoneStart = 0;
-            zoneEnd = Cinema.ROWS_OF_ZONE_A * Cinema.NUMBER_OF_ROW_SEATS;
-        }
-        else // Zone B
-        {
-            zoneStart = Cinema.ROWS_OF_ZONE_A * Cinema.NUMBER_OF_ROW_SEATS;
-            zoneEnd = (Cinema.ROWS_OF_ZONE_A + Cinema.ROWS_OF_ZONE_B) * Cinema.NUMBER_OF_ROW_SEATS;
-        }
+        SeatScanEvent scan = new SeatScanEvent(); // Flight Recorder stage event
+        scan.begin();
+        scan.describe(request);
+        boolean timed = scan.isEnabled(); // Only time the lock when the event is recorded
+
+        // Indexes of seats' array
+        int zoneStart = config.getZoneStart(request.getRequestedZone());
+        int zoneEnd = config.getZoneEnd(request.getRequestedZone());
 
         int seatsAsked = request.getRequested_seats();
         int seatsAskedCount = 0;
 
         for (int seat = zoneStart; seat <= zoneEnd - seatsAsked; seat++)
         {
-            int seatsLeftInRow = Cinema.NUMBER_OF_ROW_SEATS - (seat % Cinema.NUMBER_OF_ROW_SEATS);
+            int seatsLeftInRow = config.getNumberOfRowSeats() - (seat % config.getNumberOfRowSeats());
             if (seatsLeftInRow < seatsAsked) continue;
 
-            if (tryReserveAt(seat, seatsAsked, request))
+            boolean reserved;
+            if (timed)
+            {
+                scan.attempts++;
+                long lockStart = System.nanoTime();
+                reserved = tryReserveAt(seat, seatsAsked, request);
+                scan.lockTime += System.nanoTime() - lockStart;
+            }
+            else
+            {
+                reserved = tryReserveAt(seat, seatsAsked, request);
+            }
+
+            if (reserved)
             {
                 seatsAskedCount = seatsAsked;
                 break;
             }
         }
 
+        scan.found = (seatsAskedCount == seatsAsked);
+        scan.commit();
+
         // Rollback if not enough reserved
         if (seatsAskedCount < seatsAsked)
         {
@@ -243,6 +409,20 @@ public class SyncControl implements ISyncControl
         return Cinema.State.SUCCESS;
     }
 
+    @Override
+    public boolean hasCapacity(CustomerRequest request)
+    {
+        seatsLock.lock();
+        try
+        {
+            return capacityIndex.canFit(request.getRequestedZone(), request.getRequested_seats());
+        }
+        finally
+        {
+            seatsLock.unlock();
+        }
+    }
+
     @Override
     public Cinema.Zone askZone(CustomerRequest request)
     {
@@ -251,7 +431,7 @@ public class SyncControl implements ISyncControl
     }
 
     @Override
-    public Cinema.State findSeats(CustomerRequest request)
+    public void describeRequest(CustomerRequest request)
     {
         // How many seats are asked
         int requestedSeats = nextIntValue(Cinema.MAX_SEATS_CHOSEN) + Cinema.MIN_SEATS_CHOSEN;
@@ -260,11 +440,27 @@ public class SyncControl implements ISyncControl
         // What zone is asked
         request.setRequestedZone(askZone(request));
 
+        // Which class the customer belongs to in the operator queue
+        if(nextDoubleValue() < Cinema.PROBABILITY_OF_MEMBER) request.setPriority(Cinema.Priority.MEMBER);
+        else if(requestedSeats >= Cinema.LARGE_GROUP_SEATS) request.setPriority(Cinema.Priority.GROUP);
+        else request.setPriority(Cinema.Priority.REGULAR);
+    }
+
+    @Override
+    public Cinema.State findSeats(CustomerRequest request)
+    {
+        if(request.getRequested_seats() == 0) describeRequest(request); // Customer did not say what they want yet
+        int requestedSeats = request.getRequested_seats();
+
         MDC.put("customerId", String.valueOf(request.getId()));
+        SeatSearchEvent event = new SeatSearchEvent(); // Flight Recorder stage event
+        event.begin();
         try
         {
             logger.info("Customer <{}> Number of desired seats: {}. Proceed to checking...", request.getId(), requestedSeats);
             Cinema.State result = reserveSeats(request);
+            event.describe(request);
+            event.found = (result == Cinema.State.SUCCESS);
 
             if (result == Cinema.State.SUCCESS)
             {
@@ -285,6 +481,7 @@ public class SyncControl implements ISyncControl
         }
         finally
         {
+            event.commit();
             MDC.clear();
         }
     }
@@ -295,6 +492,7 @@ public class SyncControl implements ISyncControl
         seatsLock.lock();
         try {
             int value = (newStatus == Cinema.SeatStatus.AVAILABLE) ? 0 : (int) request.getId();
+            int first = cinemaSeats.length, last = -1; // Changed seats, to refresh their rows once
             for (int i = 0; i < request.getRequested_seats(); i++)
             {
                 int seatIndex = request.getSeats()[i];
@@ -302,8 +500,11 @@ public class SyncControl implements ISyncControl
                 if (seatIndex >= 0 && seatIndex < cinemaSeats.length)
                 {
                     cinemaSeats[seatIndex] = value;
+                    first = Math.min(first, seatIndex);
+                    last = Math.max(last, seatIndex);
                 }
             }
+            capacityIndex.update(cinemaSeats, first, last);
             if (newStatus == Cinema.SeatStatus.AVAILABLE)
             {
                 availableSeats += request.getRequested_seats();
@@ -332,6 +533,7 @@ public class SyncControl implements ISyncControl
                 cinemaSeats[j] = -1;
                 request.getSeats()[k] = j;
             }
+            capacityIndex.update(cinemaSeats, startIndex, startIndex + seatsNeeded - 1);
             availableSeats -= seatsNeeded;
             return true;
         }
@@ -347,14 +549,18 @@ public class SyncControl implements ISyncControl
         seatsLock.lock();
         try {
             int restored = 0;
+            int first = cinemaSeats.length, last = -1; // Restored seats, to refresh their rows once
             for (int idx = 0; idx < reservedSeatsCount; idx++) {
                 int s = request.getSeats()[idx];
                 if (s >= 0 && s < cinemaSeats.length && cinemaSeats[s] == -1)
                 {
                     cinemaSeats[s] = 0;
+                    first = Math.min(first, s);
+                    last = Math.max(last, s);
                     restored++;
                 }
             }
+            capacityIndex.update(cinemaSeats, first, last);
             if (restored > 0) availableSeats += restored;
         }
         finally
@@ -367,12 +573,14 @@ public class SyncControl implements ISyncControl
     public void processPayment(CustomerRequest request)
     {
         MDC.put("customerId", String.valueOf(request.getId()));
+        PaymentEvent event = new PaymentEvent(); // Flight Recorder stage event
+        event.begin();
         int range = (int) Cinema.MAX_PAYMENT_TIME - (int) Cinema.MIN_PAYMENT_TIME + 1;
         long paymentTime = nextIntValue(range) + (int) Cinema.MIN_PAYMENT_TIME * 1000L;
 
         try
         {
-            Thread.sleep(paymentTime);
+            clock.sleep(paymentTime);
         }
         catch (InterruptedException e)
         {
@@ -382,9 +590,7 @@ public class SyncControl implements ISyncControl
         }
 
         // Calculate cost
-        double cost = (request.getRequestedZone() == Cinema.Zone.A)
-                ? request.getRequested_seats() * Cinema.COST_OF_SEAT_A
-                : request.getRequested_seats() * Cinema.COST_OF_SEAT_B;
+        double cost = request.getRequested_seats() * config.getCostOfSeat(request.getRequestedZone());
         request.setCost(cost);
 
         Cinema.State paymentState = generatePaymentProbability((int) cost);
@@ -403,6 +609,11 @@ public class SyncControl implements ISyncControl
             request.setState(Cinema.State.FAIL);
             logger.info("Customer <{}> Payment failed. Booking canceled.", request.getId());
         }
+
+        event.describe(request);
+        event.cost = cost;
+        event.success = (paymentState == Cinema.State.SUCCESS);
+        event.commit();
     }
 
     @Override
@@ -420,23 +631,57 @@ public class SyncControl implements ISyncControl
     //------------------------------------------------------------------------------------------------------------------
 
     //-----------------------------------------SETTERS AND GETTERS------------------------------------------------------
+    public CinemaConfig getConfig() { return config; }
+    public SimulationClock getClock() { return clock; }
+
     public long getSyncSeed() {  return syncSeed; }
     public void setSyncSeed(long syncSeed) { this.syncSeed = syncSeed; }
 
     public ReentrantLock getOperatorLock() { return operatorLock; }
-    public Condition getOperatorCondition() { return operatorCondition; }
 
-    public int getAvailableOperators() { return availableOperators; }
+    public int getAvailableOperators()
+    {
+        operatorLock.lock();
+        try { return availableOperators; } finally { operatorLock.unlock(); }
+    }
     public void setAvailableOperators(int availableOperators) { this.availableOperators = availableOperators; }
 
+    public int getOperatorPoolSize()
+    {
+        operatorLock.lock();
+        try { return operatorPoolSize; } finally { operatorLock.unlock(); }
+    }
+
+    public int getWaitingForOperator()
+    {
+        operatorLock.lock();
+        try { return waitingForOperator; } finally { operatorLock.unlock(); }
+    }
+
     public AtomicInteger getTransactionNumber() { return transactionNumber; }
 
     public ReentrantLock getCashierLock() { return cashierLock; }
     public Condition getCashierCondition() { return cashierCondition; }
 
-    public int getAvailableCashiers() { return availableCashiers; }
+    public int getAvailableCashiers()
+    {
+        cashierLock.lock();
+        try { return availableCashiers; } finally { cashierLock.unlock(); }
+    }
     public void setAvailableCashiers(int availableCashiers) { this.availableCashiers = availableCashiers; }
 
+    public int getCashierPoolSize()
+    {
+        cashierLock.lock();
+        try { return cashierPoolSize; } finally { cashierLock.unlock(); }
+    }
+
+    public int getWaitingForCashier()
+    {
+        cashierLock.lock();
+        try { return waitingForCashier; } finally { cashierLock.unlock(); }
+    }
+
     public ReentrantLock getSeatsLock() { return seatsLock; }
     public int[] getCinemaSeats() { return cinemaSeats; }
 
@@ -448,6 +693,7 @@ public class SyncControl implements ISyncControl
     public AtomicInteger getSuccessfulTransactions() { return successfulTransactions; }
     public AtomicInteger getFailedDueToUnavailableSeats() { return failedDueToUnavailableSeats; }
     public AtomicInteger getFailedDueToPayment() { return failedDueToPayment; }
+    public AtomicInteger getRejectedDueToOverload() { return rejectedDueToOverload; }
 
     public AtomicLong getSumOfTransactionsTime() { return sumOfTransactionsTime; }
     public AtomicLong getSumOfWaitingTime() { return sumOfWaitingTime; }
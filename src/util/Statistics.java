@@ -0,0 +1,21 @@
+package util;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+public final class Statistics
+{
+    private Statistics(){};                                          // Default constructor
+
+    // Percentile (0..1) of a list of values, 0 when the list is empty
+    public static long percentile(List<Long> values, double percentile)
+    {
+        if (values.isEmpty()) return 0;
+
+        List<Long> sorted = new ArrayList<>(values);
+        Collections.sort(sorted);
+        int index = (int)Math.ceil(percentile * sorted.size()) - 1;
+        return sorted.get(Math.max(0, Math.min(index, sorted.size() - 1)));
+    }
+}